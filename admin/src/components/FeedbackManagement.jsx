@@ -5,6 +5,7 @@ export default function FeedbackManagement() {
 
 const CONFIG = {
   API_URL: `${BASE}/feedback/admin/get`,
+  STREAM_URL: `${BASE}/feedback/admin/stream`,
 };
   const Icon = ({ path, className = "w-6 h-6" }) => (
     <svg
@@ -24,6 +25,7 @@ const CONFIG = {
 
   const [feedback, setFeedback] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [reloadKey, setReloadKey] = useState(0);
   const token = typeof window !== "undefined" ? localStorage.getItem("token") : null;
 
   useEffect(() => {
@@ -48,13 +50,14 @@ const CONFIG = {
         console.log("API response:", data);
 
         // Support common API shapes: data.content, data.items, or direct array
-        const items = data?.content ?? data?.items ?? data;
+        let items = data?.content ?? data?.items ?? data;
         if (!Array.isArray(items)) {
           console.warn("API returned non-array for items, wrapping in array:", items);
-          setFeedback([items]);
-        } else {
-          setFeedback(items);
+          items = [items];
         }
+        // The stream connects at the same time; keep items it delivered after this list was read
+        const maxId = items.reduce((max, f) => Math.max(max, f?.id ?? 0), 0);
+        setFeedback((prev) => [...items, ...prev.filter((f) => f.id > maxId)]);
       } catch (err) {
         console.error("Error fetching feedback:", err);
       } finally {
@@ -63,6 +66,61 @@ const CONFIG = {
     };
 
     fetchFeedback();
+  }, [token, reloadKey]);
+
+  // Live updates over SSE. fetch() is used instead of EventSource so the
+  // Authorization header can be sent; Last-Event-ID resumes after a drop.
+  useEffect(() => {
+    const controller = new AbortController();
+    let lastEventId = null;
+
+    const handleEvent = (event, data, id) => {
+      if (id) lastEventId = id;
+      if (event === "reset") {
+        setReloadKey((k) => k + 1);
+      } else if (event === "feedback" && data) {
+        const item = JSON.parse(data);
+        setFeedback((prev) => (prev.some((f) => f.id === item.id) ? prev : [...prev, item]));
+      }
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const headers = { Authorization: token ? `Bearer ${token}` : "" };
+          if (lastEventId) headers["Last-Event-ID"] = lastEventId;
+          const res = await fetch(CONFIG.STREAM_URL, { headers, signal: controller.signal });
+          if (!res.ok) throw new Error(`Feedback stream failed: ${res.status}`);
+
+          const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = "";
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value;
+            let boundary;
+            while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+              const block = buffer.slice(0, boundary);
+              buffer = buffer.slice(boundary + 2);
+              let event = "message", data = "", id = null;
+              block.split("\n").forEach((line) => {
+                if (line.startsWith("event:")) event = line.slice(6).trim();
+                else if (line.startsWith("data:")) data += line.slice(5).trim();
+                else if (line.startsWith("id:")) id = line.slice(3).trim();
+              });
+              handleEvent(event, data, id);
+            }
+          }
+        } catch (err) {
+          if (controller.signal.aborted) return;
+          console.error("Feedback stream error:", err);
+        }
+        await new Promise((r) => setTimeout(r, 3000));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
   }, [token]);
 
   // Bulletproof CSV download using Blob + robust escaping
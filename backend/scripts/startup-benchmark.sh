@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request of the backend, before and after the
+# fast-startup optimisations.
+#
+#   before: plain fat jar, Hibernate ddl-auto=update, no AOT, no CDS
+#   after : AOT-processed extracted jar with the AppCDS archive, Flyway + validate
+#
+# Usage (from backend/, with MySQL running as configured in application.properties):
+#   ./mvnw -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "${TARGET}"/demo-*.jar | grep -v original | head -n 1)"
+APP_DIR="${TARGET}/application"
+
+if [[ ! -f "${APP_DIR}/application.jsa" ]]; then
+  echo "No CDS archive in ${APP_DIR}; build with: ./mvnw -Pfast-startup -DskipTests package" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+# Starts the app with the given command, returns ms until the first 200 on ${URL}.
+time_to_first_request() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="${PORT}" >/dev/null 2>&1 &
+  pid=$!
+  until [[ "$(curl -s -o /dev/null -w '%{http_code}' "${URL}" || true)" == "200" ]]; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "application exited before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "${elapsed}"
+}
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'; }
+
+run() {
+  local label=$1; shift
+  local results=()
+  for ((i = 1; i <= RUNS; i++)); do
+    results+=("$(time_to_first_request "$@")")
+  done
+  printf '%-7s runs=%s median=%sms all=[%s]\n' "${label}" "${RUNS}" \
+    "$(printf '%s\n' "${results[@]}" | median)" "${results[*]}"
+}
+
+run before java -jar "${JAR}" \
+  --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update
+
+(cd "${APP_DIR}" && run after java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+  -jar "$(basename "${JAR}")")
@@ -0,0 +1,45 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for post-upload package inspection. When the queue is full the
+     * task is rejected and the file stays PENDING until re-run from the admin API.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor packageInspectionExecutor(
+            @Value("${app.inspection.threads:2}") int threads,
+            @Value("${app.inspection.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("package-inspection-");
+        return executor;
+    }
+
+    /**
+     * Writes feedback stream events to admin connections. At most one drain task per
+     * subscriber runs at a time and FeedbackBroadcaster caps subscribers at the same
+     * limit, so a subscriber blocked on a slow client never takes another's thread.
+     * Idle threads time out, so the pool only costs threads while streams are active.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor feedbackStreamExecutor(
+            @Value("${app.feedback-stream.max-subscribers:16}") int maxSubscribers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxSubscribers);
+        executor.setMaxPoolSize(maxSubscribers);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("feedback-stream-");
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets a run skip migrations with {@code app.flyway.migrate=false}.
+ * <p>
+ * {@code spring.flyway.enabled} is a condition and is fixed when the AOT build runs,
+ * so it cannot switch Flyway off for an AOT-processed jar. This property is read
+ * when the context starts and is used by the CDS training run, which must not
+ * need a database.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${app.flyway.migrate:true}") boolean migrate) {
+        return flyway -> {
+            if (migrate) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ChangeLogPoller;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cluster")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ClusterController {
+
+    private final ChangeLogPoller changeLogPoller;
+
+    public ClusterController(ChangeLogPoller changeLogPoller) {
+        this.changeLogPoller = changeLogPoller;
+    }
+
+    @GetMapping("/admin/status")
+    public ResponseEntity<Map<String, Object>> getStatus()
+    {
+        return ResponseEntity.ok(changeLogPoller.getStatus());
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.Message;
-import com.example.demo.security.GoogleTokenVerifier;
+import com.example.demo.security.IdTokenVerifier;
+import com.example.demo.service.FeedbackBroadcaster;
 import com.example.demo.service.FeedbackService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 
 import java.util.List;
 
@@ -18,6 +23,10 @@ import java.util.List;
 public class FeedbackController {
     @Autowired
     FeedbackService feedbackService;
+    @Autowired
+    FeedbackBroadcaster feedbackBroadcaster;
+    @Autowired
+    IdTokenVerifier idTokenVerifier;
     @GetMapping("/form")
     public String feedbackForm(@AuthenticationPrincipal OAuth2User user) {
         String email = user.getAttribute("email");
@@ -35,7 +44,7 @@ public class FeedbackController {
         }
 
         String idToken = authorizationHeader.substring(7).trim();
-        String verifiedEmail = GoogleTokenVerifier.verifyTokenAndGetEmail(idToken);
+        String verifiedEmail = idTokenVerifier.verifyTokenAndGetEmail(idToken);
         if (verifiedEmail == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid or expired Google ID token");
@@ -54,4 +63,15 @@ public class FeedbackController {
     {
         return new ResponseEntity<>(feedbackService.getAll(),HttpStatus.OK);
     }
+
+    // Live feed of new feedback; reconnecting clients resume after Last-Event-ID
+    @GetMapping(path = "/admin/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFeedbacks(
+            @RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId) throws IOException {
+        SseEmitter emitter = feedbackBroadcaster.subscribe(lastEventId);
+        if (emitter == null) {
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return ResponseEntity.ok(emitter);
+    }
 }
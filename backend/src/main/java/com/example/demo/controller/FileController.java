@@ -2,13 +2,17 @@ package com.example.demo.controller;
 
 import com.example.demo.model.File;
 import com.example.demo.service.FileService;
+import com.example.demo.service.PackageInspectionService;
 
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 
 @RestController
@@ -17,9 +21,11 @@ import java.util.List;
 public class FileController {
 
     private final FileService fileService;
+    private final PackageInspectionService packageInspectionService;
 
-    public FileController(FileService fileService) {
+    public FileController(FileService fileService, PackageInspectionService packageInspectionService) {
         this.fileService = fileService;
+        this.packageInspectionService = packageInspectionService;
     }
 
 
@@ -31,6 +37,16 @@ public class FileController {
     public ResponseEntity<byte[]> downloadExtension(@PathVariable String browser,@PathVariable String version ) throws IOException {
         return fileService.getExtension(browser,version);
     }
+    @GetMapping("/link/{browser}/{version}")
+    public ResponseEntity<Map<String, Object>> getDownloadLink(@PathVariable String browser, @PathVariable String version) {
+        return fileService.getDownloadLink(browser, version);
+    }
+    @GetMapping("/signed/{token}")
+    public ResponseEntity<Resource> downloadSigned(
+            @PathVariable String token,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        return fileService.getSignedDownload(token, ifNoneMatch);
+    }
     @GetMapping("/{browser}/versions")
     public ResponseEntity<List<String>> getVersions(@PathVariable String browser)
     {
@@ -95,6 +111,21 @@ public class FileController {
     {
         return fileService.getFiles();
     }
+    @GetMapping("/admin/packages")
+    public ResponseEntity<List<File>> getFilesByPermission(@RequestParam String permission)
+    {
+        return fileService.getFilesByPermission(permission);
+    }
+    @GetMapping("/admin/packages/mismatched")
+    public ResponseEntity<List<File>> getVersionMismatches()
+    {
+        return fileService.getVersionMismatches();
+    }
+    @PostMapping("/admin/inspect/{id}")
+    public ResponseEntity<Long> reinspect(@PathVariable Long id)
+    {
+        return packageInspectionService.reinspect(id);
+    }
     @DeleteMapping("/admin/delete/{id}")
     public ResponseEntity<Long> deleteFile(@PathVariable Long id) throws  Exception
     {
@@ -0,0 +1,54 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.RuleBundleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/rules")
+@CrossOrigin(origins = "http://localhost:5173")
+public class RuleController {
+
+    private static final List<String> ALLOWED_BROWSERS = List.of("chrome", "firefox", "edge", "dummy-browser");
+
+    private final RuleBundleService ruleBundleService;
+
+    public RuleController(RuleBundleService ruleBundleService) {
+        this.ruleBundleService = ruleBundleService;
+    }
+
+    // Rules added, changed and removed after version `since` (gzip JSON when accepted)
+    @GetMapping("/{browser}")
+    public ResponseEntity<byte[]> getRules(
+            @PathVariable String browser,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!ALLOWED_BROWSERS.contains(browser.toLowerCase())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ruleBundleService.getDelta(browser.toLowerCase(), since, ifNoneMatch, acceptEncoding);
+    }
+
+    // Body: { "<rule key>": <rule JSON>, ... }, the complete rule set for the browser
+    @PutMapping("/admin/{browser}")
+    public ResponseEntity<?> publishRules(@PathVariable String browser, @RequestBody Map<String, JsonNode> rules) {
+        if (!ALLOWED_BROWSERS.contains(browser.toLowerCase())) {
+            return ResponseEntity.badRequest()
+                    .body("❌ Invalid browser. Allowed: " + ALLOWED_BROWSERS);
+        }
+        for (String key : rules.keySet()) {
+            if (key.isBlank() || key.length() > 255) {
+                return ResponseEntity.badRequest()
+                        .body("❌ Rule keys must be 1-255 characters");
+            }
+        }
+        long version = ruleBundleService.publish(browser.toLowerCase(), rules);
+        return ResponseEntity.ok(Map.of("browser", browser.toLowerCase(), "version", version));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.jwt;
+
+/**
+ * Everything needed to serve a file, carried inside a signed download URL.
+ */
+public record DownloadToken(Long fileId, String contentHash, long size, String contentType, String fileName) {
+}
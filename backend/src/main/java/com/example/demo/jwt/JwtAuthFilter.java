@@ -1,6 +1,6 @@
 package com.example.demo.jwt;
 
-import com.example.demo.security.GoogleTokenVerifier;
+import com.example.demo.security.IdTokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,9 +17,11 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final IdTokenVerifier idTokenVerifier;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    public JwtAuthFilter(JwtUtil jwtUtil, IdTokenVerifier idTokenVerifier) {
         this.jwtUtil = jwtUtil;
+        this.idTokenVerifier = idTokenVerifier;
     }
 
     @Override
@@ -43,7 +45,7 @@ System.out.println(header);
                 }
                 // 2️⃣ Validate Google ID Token (for normal users)
                 else {
-                    String email = GoogleTokenVerifier.verifyTokenAndGetEmail(token);
+                    String email = idTokenVerifier.verifyTokenAndGetEmail(token);
                     if (email != null) {
                         setAuth(email, request, "ROLE_USER");
                     }
@@ -16,11 +16,18 @@ public class JwtUtil {
     // Minimum 32-byte key (keep this secret & secure!)
     private static final String SECRET_KEY = "supersecretkeysupersecretkey1234";
     private static final long EXPIRATION = 1000 * 60 * 30; // 30 minutes
+    private static final long DOWNLOAD_EXPIRATION = 1000 * 60 * 10; // 10 minutes
+    private static final long DOWNLOAD_EXPIRATION_WINDOW = 1000 * 60 * 5; // expiry is rounded up to this
 
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
     }
 
+    // Separate key so a download token can never pass validateToken() as an admin token
+    private Key getDownloadSigningKey() {
+        return Keys.hmacShaKeyFor(("download:" + SECRET_KEY).getBytes());
+    }
+
     /**
      * ✅ Generate a JWT token with username and role.
      */
@@ -71,4 +78,48 @@ public class JwtUtil {
                 .parseClaimsJws(token)
                 .getBody();
     }
+
+    /**
+     * ✅ Generate a signed download token for a stored file.
+     * No issued-at claim and a rounded expiry: every client asking within the same
+     * window gets the same URL, so a caching proxy sees one cache key per file.
+     */
+    public String generateDownloadToken(DownloadToken download) {
+        return generateDownloadToken(download, System.currentTimeMillis());
+    }
+
+    String generateDownloadToken(DownloadToken download, long now) {
+        long window = DOWNLOAD_EXPIRATION_WINDOW;
+        long expiresAt = ((now + DOWNLOAD_EXPIRATION + window - 1) / window) * window;
+        return Jwts.builder()
+                .setSubject(String.valueOf(download.fileId()))
+                .claim("sha", download.contentHash())
+                .claim("len", download.size())
+                .claim("ct", download.contentType())
+                .claim("fn", download.fileName())
+                .setExpiration(new Date(expiresAt))
+                .signWith(getDownloadSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * ✅ Verify a download token and read its claims; null if invalid or expired.
+     */
+    public DownloadToken parseDownloadToken(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getDownloadSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            return new DownloadToken(
+                    Long.valueOf(claims.getSubject()),
+                    claims.get("sha", String.class),
+                    claims.get("len", Long.class),
+                    claims.get("ct", String.class),
+                    claims.get("fn", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
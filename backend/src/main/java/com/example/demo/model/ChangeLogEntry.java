@@ -0,0 +1,70 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One committed mutation, written in the same transaction as the change itself.
+ * Other nodes poll this table to invalidate their in-memory state.
+ */
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String entity;
+
+    private Long entityId;
+
+    private String action;
+
+    private String browser;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    // Node that made the change; it has already applied it locally
+    private String nodeId;
+
+    // Epoch millis at write time, used to measure propagation delay
+    private long createdAt;
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(String entity, Long entityId, String action, String browser, String contentHash,
+                          String nodeId) {
+        this.entity = entity;
+        this.entityId = entityId;
+        this.action = action;
+        this.browser = browser;
+        this.contentHash = contentHash;
+        this.nodeId = nodeId;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEntity() { return entity; }
+    public void setEntity(String entity) { this.entity = entity; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getBrowser() { return browser; }
+    public void setBrowser(String browser) { this.browser = browser; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+}
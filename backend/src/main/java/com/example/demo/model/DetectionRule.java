@@ -0,0 +1,65 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One dark-pattern detection rule in a browser's rule bundle. Removed rules are
+ * kept as tombstones so clients syncing from an older version learn about them.
+ */
+@Entity
+@Table(
+        name = "detection_rule",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"browser", "ruleKey"})
+        }
+)
+public class DetectionRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String browser;
+
+    private String ruleKey;
+
+    // Rule definition as JSON
+    @Lob
+    private String body;
+
+    // Bundle version in which the rule was (last) added
+    private long addedVersion;
+
+    // Bundle version of the latest add, change or removal
+    private long version;
+
+    private boolean deleted;
+
+    public DetectionRule() {}
+
+    public DetectionRule(String browser, String ruleKey) {
+        this.browser = browser;
+        this.ruleKey = ruleKey;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBrowser() { return browser; }
+    public void setBrowser(String browser) { this.browser = browser; }
+
+    public String getRuleKey() { return ruleKey; }
+    public void setRuleKey(String ruleKey) { this.ruleKey = ruleKey; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public long getAddedVersion() { return addedVersion; }
+    public void setAddedVersion(long addedVersion) { this.addedVersion = addedVersion; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+}
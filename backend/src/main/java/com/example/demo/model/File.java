@@ -26,11 +26,28 @@ public class File {
 
     private String contentType;
 
+    // SHA-256 of the package bytes, hex encoded
+    @Column(length = 64)
+    private String contentHash;
+
     private String browser;
 
 
     private String version;
 
+    // Filled in asynchronously from manifest.json after upload (see PackageInspectionService)
+    private String inspectionStatus;
+    @Column(length = 512)
+    private String inspectionError;
+    private String manifestName;
+    private String manifestVersion;
+    private Integer manifestFormat;
+    private String minBrowserVersion;
+    private Boolean versionMismatch;
+    private Integer entryCount;
+    private Long compressedSize;
+    private Long uncompressedSize;
+
     public String getBrowser() {
         return browser;
     }
@@ -65,6 +82,39 @@ public class File {
     public String getContentType() { return contentType; }
     public void setContentType(String contentType) { this.contentType = contentType; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public Blob getData() { return data; }
     public void setData(Blob data) { this.data = data; }
+
+    public String getInspectionStatus() { return inspectionStatus; }
+    public void setInspectionStatus(String inspectionStatus) { this.inspectionStatus = inspectionStatus; }
+
+    public String getInspectionError() { return inspectionError; }
+    public void setInspectionError(String inspectionError) { this.inspectionError = inspectionError; }
+
+    public String getManifestName() { return manifestName; }
+    public void setManifestName(String manifestName) { this.manifestName = manifestName; }
+
+    public String getManifestVersion() { return manifestVersion; }
+    public void setManifestVersion(String manifestVersion) { this.manifestVersion = manifestVersion; }
+
+    public Integer getManifestFormat() { return manifestFormat; }
+    public void setManifestFormat(Integer manifestFormat) { this.manifestFormat = manifestFormat; }
+
+    public String getMinBrowserVersion() { return minBrowserVersion; }
+    public void setMinBrowserVersion(String minBrowserVersion) { this.minBrowserVersion = minBrowserVersion; }
+
+    public Boolean getVersionMismatch() { return versionMismatch; }
+    public void setVersionMismatch(Boolean versionMismatch) { this.versionMismatch = versionMismatch; }
+
+    public Integer getEntryCount() { return entryCount; }
+    public void setEntryCount(Integer entryCount) { this.entryCount = entryCount; }
+
+    public Long getCompressedSize() { return compressedSize; }
+    public void setCompressedSize(Long compressedSize) { this.compressedSize = compressedSize; }
+
+    public Long getUncompressedSize() { return uncompressedSize; }
+    public void setUncompressedSize(Long uncompressedSize) { this.uncompressedSize = uncompressedSize; }
 }
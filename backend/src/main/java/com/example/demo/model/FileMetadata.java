@@ -0,0 +1,13 @@
+package com.example.demo.model;
+
+/**
+ * Projection of {@link File} without the package bytes.
+ */
+public interface FileMetadata {
+    Long getId();
+    String getFileName();
+    long getFileSize();
+    String getContentType();
+    String getContentHash();
+    String getVersion();
+}
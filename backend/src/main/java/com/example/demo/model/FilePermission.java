@@ -0,0 +1,35 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One permission requested by an uploaded package's manifest.
+ */
+@Entity
+@Table(name = "file_permission")
+public class FilePermission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long fileId;
+
+    private String permission;
+
+    public FilePermission() {}
+
+    public FilePermission(Long fileId, String permission) {
+        this.fileId = fileId;
+        this.permission = permission;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getFileId() { return fileId; }
+    public void setFileId(Long fileId) { this.fileId = fileId; }
+
+    public String getPermission() { return permission; }
+    public void setPermission(String permission) { this.permission = permission; }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+/**
+ * Result of reading an uploaded package's zip directory and manifest.json.
+ */
+public record PackageInspection(
+        String manifestName,
+        String manifestVersion,
+        Integer manifestFormat,
+        String minBrowserVersion,
+        boolean versionMismatch,
+        int entryCount,
+        long compressedSize,
+        long uncompressedSize,
+        List<String> permissions) {
+}
@@ -0,0 +1,29 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Current rule bundle version for a browser. Locked while publishing so
+ * versions stay strictly increasing.
+ */
+@Entity
+@Table(name = "rule_bundle")
+public class RuleBundle {
+
+    @Id
+    private String browser;
+
+    private long version;
+
+    public RuleBundle() {}
+
+    public RuleBundle(String browser) {
+        this.browser = browser;
+    }
+
+    public String getBrowser() { return browser; }
+    public void setBrowser(String browser) { this.browser = browser; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    @Query("select coalesce(max(c.id), 0) from ChangeLogEntry c")
+    Long getMaxId();
+
+    List<ChangeLogEntry> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    List<ChangeLogEntry> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.createdAt < :before")
+    int deleteOlderThan(@Param("before") long before);
+}
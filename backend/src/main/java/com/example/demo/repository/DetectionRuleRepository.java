@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DetectionRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DetectionRuleRepository extends JpaRepository<DetectionRule, Long> {
+    List<DetectionRule> findByBrowser(String browser);
+}
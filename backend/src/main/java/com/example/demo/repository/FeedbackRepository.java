@@ -4,6 +4,9 @@ import com.example.demo.model.Message;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FeedbackRepository extends JpaRepository<Message,Integer> {
+    List<Message> findTop500ByIdGreaterThanOrderByIdAsc(int id);
 }
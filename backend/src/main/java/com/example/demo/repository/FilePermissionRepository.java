@@ -0,0 +1,20 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.FilePermission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FilePermissionRepository extends JpaRepository<FilePermission, Long> {
+    @Modifying
+    @Query("delete from FilePermission p where p.fileId=:fileId")
+    void deleteByFileId(@Param("fileId") Long fileId);
+
+    @Query("select p.permission from FilePermission p where p.fileId=:fileId")
+    List<String> getPermissions(@Param("fileId") Long fileId);
+}
@@ -1,7 +1,10 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.File;
+import com.example.demo.model.FileMetadata;
+import com.example.demo.model.PackageInspection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,4 +21,32 @@ public interface FileRepository extends JpaRepository<File, Long> {
     List<String> getVersions(@Param("browser") String browser);
 
     Optional<File> findByBrowserAndVersion(String browser, String version);
+
+    @Query("select f.id as id, f.fileName as fileName, f.fileSize as fileSize, f.contentType as contentType, "
+            + "f.contentHash as contentHash, f.version as version from File f where f.browser=:browser and f.version=:version")
+    Optional<FileMetadata> findMetadata(@Param("browser") String browser, @Param("version") String version);
+
+    @Query("select f.id as id, f.fileName as fileName, f.fileSize as fileSize, f.contentType as contentType, "
+            + "f.contentHash as contentHash, f.version as version from File f where f.id=:id")
+    Optional<FileMetadata> findMetadataById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update File f set f.inspectionStatus='DONE', f.inspectionError=null, "
+            + "f.manifestName=:#{#i.manifestName()}, f.manifestVersion=:#{#i.manifestVersion()}, "
+            + "f.manifestFormat=:#{#i.manifestFormat()}, f.minBrowserVersion=:#{#i.minBrowserVersion()}, "
+            + "f.versionMismatch=:#{#i.versionMismatch()}, f.entryCount=:#{#i.entryCount()}, "
+            + "f.compressedSize=:#{#i.compressedSize()}, f.uncompressedSize=:#{#i.uncompressedSize()} "
+            + "where f.id=:id")
+    int saveInspection(@Param("id") Long id, @Param("i") PackageInspection inspection);
+
+    @Modifying
+    @Query("update File f set f.inspectionStatus='FAILED', f.inspectionError=:error where f.id=:id")
+    int markInspectionFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Query("select f from File f where f.id in (select p.fileId from FilePermission p where p.permission=:permission)")
+    List<File> findByPermission(@Param("permission") String permission);
+
+    List<File> findByVersionMismatchTrue();
+
+    boolean existsByContentHash(String contentHash);
 }
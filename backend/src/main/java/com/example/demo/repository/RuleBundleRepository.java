@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RuleBundle;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RuleBundleRepository extends JpaRepository<RuleBundle, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from RuleBundle b where b.browser=:browser")
+    Optional<RuleBundle> findForUpdate(@Param("browser") String browser);
+}
@@ -4,32 +4,43 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 
 import java.util.Collections;
 
-public class GoogleTokenVerifier {
+@Component
+public class GoogleTokenVerifier implements IdTokenVerifier {
 
-    // Use the *client ID* assigned to your web application in Google Cloud Console
-    private static final String CLIENT_ID = "824307065796-gqvk08dm58i01pmmrbrens2ke0v927fj.apps.googleusercontent.com";
+    /**
+     * Lazy: the Google HTTP/JSON stack is only built on the first token
+     * verification instead of during application startup.
+     */
+    private final SingletonSupplier<GoogleIdTokenVerifier> verifier;
 
-    private static final GoogleIdTokenVerifier verifier =
-            new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(),
-                    GsonFactory.getDefaultInstance()
-            )
-                    .setAudience(Collections.singletonList(CLIENT_ID))
-                    .build();
+    // Use the *client ID* assigned to your web application in Google Cloud Console
+    public GoogleTokenVerifier(@Value("${app.google.client-id}") String clientId) {
+        this.verifier = SingletonSupplier.of(() ->
+                new GoogleIdTokenVerifier.Builder(
+                        new NetHttpTransport(),
+                        GsonFactory.getDefaultInstance()
+                )
+                        .setAudience(Collections.singletonList(clientId))
+                        .build());
+    }
 
     /**
      * Verifies the given ID token string.
      * Returns the user's email if valid and email is verified; otherwise null.
      */
-    public static String verifyTokenAndGetEmail(String idTokenString) {
+    @Override
+    public String verifyTokenAndGetEmail(String idTokenString) {
         if (idTokenString == null || idTokenString.isBlank()) {
             return null;
         }
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            GoogleIdToken idToken = verifier.obtain().verify(idTokenString);
             if (idToken == null) {
                 return null;
             }
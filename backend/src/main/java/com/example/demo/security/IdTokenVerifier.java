@@ -0,0 +1,12 @@
+package com.example.demo.security;
+
+/**
+ * Verifies end-user ID tokens (Google Sign-In in production).
+ */
+public interface IdTokenVerifier {
+
+    /**
+     * Returns the user's email if the token is valid and the email is verified; otherwise null.
+     */
+    String verifyTokenAndGetEmail(String idTokenString);
+}
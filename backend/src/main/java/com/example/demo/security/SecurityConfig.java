@@ -1,6 +1,7 @@
 package com.example.demo.security;
 
 import com.example.demo.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -31,8 +32,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> {}) // use the corsConfigurationSource() bean
                 .authorizeHttpRequests(auth -> auth
+                        // SSE streams complete through an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/auth/**").permitAll()
-                        .requestMatchers("/files/admin/**", "/feedback/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/files/admin/**", "/feedback/admin/**", "/cluster/admin/**", "/rules/admin/**").hasRole("ADMIN")
                         .requestMatchers("/feedback/add").authenticated()
                         .anyRequest().permitAll()
                 )
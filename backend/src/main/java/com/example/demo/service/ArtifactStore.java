@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed copy of package bytes on local disk, keyed by SHA-256.
+ * Entries are immutable, so a file that exists is always safe to serve.
+ */
+@Component
+public class ArtifactStore {
+
+    private final Path directory;
+
+    public ArtifactStore(@Value("${app.artifacts.dir:${java.io.tmpdir}/dark-pattern-artifacts}") Path directory)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Returns the stored artifact, or null if this node does not have it yet
+    public Path find(String contentHash) {
+        Path path = resolve(contentHash);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    public Path put(String contentHash, byte[] data) throws IOException {
+        Path path = resolve(contentHash);
+        if (Files.isRegularFile(path)) {
+            return path;
+        }
+        // Write aside and move, so readers never see a partial file
+        Path tmp = Files.createTempFile(directory, contentHash, ".tmp");
+        try {
+            Files.write(tmp, data);
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return path;
+    }
+
+    /**
+     * Copies a stream into the store and returns its path, failing if the bytes
+     * do not hash to {@code contentHash}.
+     */
+    public Path put(String contentHash, InputStream in) throws IOException {
+        byte[] data = in.readAllBytes();
+        if (!sha256(data).equals(contentHash)) {
+            throw new IOException("Content hash mismatch for artifact " + contentHash);
+        }
+        return put(contentHash, data);
+    }
+
+    public void remove(String contentHash) throws IOException {
+        Files.deleteIfExists(resolve(contentHash));
+    }
+
+    private Path resolve(String contentHash) {
+        if (contentHash == null || !contentHash.matches("^[0-9a-f]{64}$")) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+        }
+        return directory.resolve(contentHash);
+    }
+}
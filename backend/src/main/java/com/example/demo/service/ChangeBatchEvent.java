@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ChangeLogEntry;
+
+import java.util.List;
+
+/**
+ * All remote changes read by one {@link ChangeLogPoller} poll, published after their
+ * individual {@link ChangeEvent}s for listeners that want to load data in one query.
+ */
+public record ChangeBatchEvent(List<ChangeLogEntry> entries) {
+}
@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ChangeLogEntry;
+
+/**
+ * A change to apply to in-memory state. Local changes are delivered after commit;
+ * remote ones ({@code remote == true}) come from {@link ChangeLogPoller}.
+ */
+public record ChangeEvent(ChangeLogEntry entry, boolean remote) {
+
+    public boolean is(String entity, String action) {
+        return entity.equals(entry.getEntity()) && action.equals(entry.getAction());
+    }
+}
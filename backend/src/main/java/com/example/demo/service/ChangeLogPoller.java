@@ -0,0 +1,141 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ChangeLogEntry;
+import com.example.demo.repository.ChangeLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the change log and republishes other nodes' changes as {@link ChangeEvent}s.
+ * <p>
+ * Each poll reads from the primary in batches until it catches up, so propagation
+ * delay is bounded by the poll interval plus the read time, not by replica lag.
+ * MySQL cannot push a notification to a waiting reader, so this is a short poll
+ * on a fixed delay rather than a long poll. Auto-increment ids can commit out of order;
+ * skipped ids are re-checked on later polls for {@code GAP_TIMEOUT} before being
+ * given up (rolled back inserts also leave gaps).
+ */
+@Component
+public class ChangeLogPoller {
+
+    private static final int BATCH_SIZE = 500; // see ChangeLogRepository.findTop500ByIdGreaterThanOrderByIdAsc
+    private static final long GAP_TIMEOUT = 1000 * 10; // 10 seconds
+    private static final int MAX_TRACKED_GAP = 1000;
+    private static final long RETENTION = 1000 * 60 * 60 * 24; // 1 day
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long pollInterval;
+    private final TransactionTemplate primaryTransaction;
+
+    // Only touched by the polling thread
+    private long cursor = -1;
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+    private volatile long lastPollAt;
+
+    public ChangeLogPoller(ChangeLogRepository changeLogRepository,
+                           ChangeLogService changeLogService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.changelog.poll-interval-ms:500}") long pollInterval,
+                           PlatformTransactionManager transactionManager) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.pollInterval = pollInterval;
+        // Not read-only, so the routing data source sends it to the primary
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.changelog.poll-interval-ms:500}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        lastPollAt = now;
+        if (cursor < 0) {
+            // Nothing is cached yet at startup, so only changes from now on matter
+            cursor = primaryTransaction.execute(status -> changeLogRepository.getMaxId());
+            return;
+        }
+
+        // Events are published after the read transaction has ended
+        apply(primaryTransaction.execute(status -> read(now)));
+    }
+
+    private List<ChangeLogEntry> read(long now) {
+        List<ChangeLogEntry> changes = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            for (ChangeLogEntry late : changeLogRepository.findByIdIn(gaps.keySet())) {
+                gaps.remove(late.getId());
+                changes.add(late);
+            }
+            gaps.values().removeIf(firstSeen -> now - firstSeen > GAP_TIMEOUT);
+        }
+
+        List<ChangeLogEntry> batch;
+        do {
+            batch = changeLogRepository.findTop500ByIdGreaterThanOrderByIdAsc(cursor);
+            for (ChangeLogEntry entry : batch) {
+                if (entry.getId() - cursor <= MAX_TRACKED_GAP) {
+                    for (long missing = cursor + 1; missing < entry.getId(); missing++) {
+                        gaps.put(missing, now);
+                    }
+                }
+                cursor = entry.getId();
+                changes.add(entry);
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return changes;
+    }
+
+    private void apply(List<ChangeLogEntry> changes) {
+        List<ChangeLogEntry> remote = new ArrayList<>();
+        for (ChangeLogEntry entry : changes) {
+            if (changeLogService.getNodeId().equals(entry.getNodeId())) {
+                continue; // applied locally at commit
+            }
+            long lag = System.currentTimeMillis() - entry.getCreatedAt();
+            lastLagMs = lag;
+            maxLagMs = Math.max(maxLagMs, lag);
+            applied.incrementAndGet();
+            remote.add(entry);
+            eventPublisher.publishEvent(new ChangeEvent(entry, true));
+        }
+        if (!remote.isEmpty()) {
+            eventPublisher.publishEvent(new ChangeBatchEvent(remote));
+        }
+    }
+
+    @Scheduled(initialDelay = 1000 * 60 * 60, fixedDelay = 1000 * 60 * 60)
+    @Transactional
+    public void purge() {
+        changeLogRepository.deleteOlderThan(System.currentTimeMillis() - RETENTION);
+    }
+
+    // Propagation figures for this node; lag includes clock skew between nodes
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("nodeId", changeLogService.getNodeId());
+        status.put("pollIntervalMs", pollInterval);
+        status.put("lastPollAt", lastPollAt);
+        status.put("remoteChangesApplied", applied.get());
+        status.put("lastLagMs", lastLagMs);
+        status.put("maxLagMs", maxLagMs);
+        return status;
+    }
+}
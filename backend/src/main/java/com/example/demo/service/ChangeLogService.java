@@ -0,0 +1,49 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ChangeLogEntry;
+import com.example.demo.repository.ChangeLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records mutations to the cluster change log. Must be called inside the
+ * transaction making the change, so the entry commits or rolls back with it.
+ */
+@Service
+public class ChangeLogService {
+
+    public static final String FILE = "FILE";
+    public static final String MESSAGE = "MESSAGE";
+    public static final String RULE = "RULE";
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${app.node-id:${random.uuid}}") String nodeId) {
+        this.changeLogRepository = changeLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String entity, Long entityId, String action, String browser, String contentHash) {
+        ChangeLogEntry entry = changeLogRepository.save(
+                new ChangeLogEntry(entity, entityId, action, browser, contentHash, nodeId));
+        // Applied on this node after commit; other nodes pick it up from the table
+        eventPublisher.publishEvent(new ChangeEvent(entry, false));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Message;
+
+/**
+ * Published when feedback is saved; handled once the transaction commits.
+ */
+public record FeedbackAddedEvent(Message message) {
+}
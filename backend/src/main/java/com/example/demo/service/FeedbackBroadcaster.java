@@ -0,0 +1,202 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ChangeLogEntry;
+import com.example.demo.model.Message;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans newly saved feedback out to admin SSE connections, including feedback
+ * saved on other nodes.
+ * <p>
+ * Publishing never blocks: each subscriber has its own bounded lock-free queue
+ * drained on {@code feedbackStreamExecutor}. A subscriber that falls behind by more
+ * than the buffer size is disconnected and resumes from the database with
+ * Last-Event-ID, so a slow admin tab cannot hold up ingestion.
+ * <p>
+ * A send is a blocking servlet write and holds its drain thread until the client
+ * reads or the container's write timeout fails it. Streams are therefore capped at
+ * the pool size ({@code app.feedback-stream.max-subscribers}): every subscriber can
+ * always get a thread, so stalled tabs only delay themselves.
+ */
+@Component
+public class FeedbackBroadcaster {
+
+    private static final long TIMEOUT = 1000 * 60 * 30; // 30 minutes, the browser reconnects
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Open streams, released when the emitter completes and its drain thread is free
+    private final AtomicInteger streams = new AtomicInteger();
+    private final FeedbackService feedbackService;
+    private final Executor executor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    public FeedbackBroadcaster(FeedbackService feedbackService,
+                               @Qualifier("feedbackStreamExecutor") Executor executor,
+                               @Value("${app.feedback-stream.buffer-size:256}") int bufferSize,
+                               @Value("${app.feedback-stream.max-subscribers:16}") int maxSubscribers) {
+        this.feedbackService = feedbackService;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Opens a stream. With a Last-Event-ID, messages saved after that id are
+     * replayed first; if more were missed than one replay holds, a "reset" event
+     * tells the client to reload the full list. Returns null when the stream limit
+     * is reached.
+     */
+    public SseEmitter subscribe(Integer lastEventId) throws IOException {
+        if (streams.incrementAndGet() > maxSubscribers) {
+            streams.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            streams.decrementAndGet();
+        });
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Register before reading the backlog so nothing saved in between is lost;
+        // live messages are held until the replay has been written.
+        subscribers.add(subscriber);
+        try {
+            if (lastEventId != null) {
+                List<Message> missed = feedbackService.getAfter(lastEventId);
+                for (Message message : missed) {
+                    subscriber.replayed.add(message.getId());
+                    emitter.send(event(message));
+                }
+                if (missed.size() == FeedbackService.REPLAY_LIMIT) {
+                    emitter.send(SseEmitter.event().name("reset").data(""));
+                }
+            } else {
+                emitter.send(SseEmitter.event().comment("connected"));
+            }
+        } catch (IOException | RuntimeException e) {
+            subscribers.remove(subscriber);
+            streams.decrementAndGet(); // never handed to the container, so no completion callback
+            throw e;
+        }
+        executor.execute(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onFeedbackAdded(FeedbackAddedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event.message());
+        }
+    }
+
+    // Feedback saved on other nodes arrives through the change log, loaded in one query per poll
+    @EventListener
+    public void onChanges(ChangeBatchEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (ChangeLogEntry entry : event.entries()) {
+            if (ChangeLogService.MESSAGE.equals(entry.getEntity()) && ChangeLogService.CREATE.equals(entry.getAction())) {
+                ids.add(entry.getEntityId().intValue());
+            }
+        }
+        if (!ids.isEmpty()) {
+            for (Message message : feedbackService.get(ids)) {
+                onFeedbackAdded(new FeedbackAddedEvent(message));
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(Message message) {
+        return SseEmitter.event().id(String.valueOf(message.getId())).name("feedback").data(message);
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // Pending drain requests; starts held by subscribe() until the replay is written
+        private final AtomicInteger wip = new AtomicInteger(1);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Only touched by the replay and then the (single) drain task
+        private final Set<Integer> replayed = new HashSet<>();
+        private boolean completed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (closed.get()) {
+                return;
+            }
+            if (size.incrementAndGet() > bufferSize) {
+                // Too slow: drop the connection, the client resumes from Last-Event-ID.
+                // The drain task completes the emitter; doing it here would wait on the
+                // emitter lock held by a send blocked on this client.
+                if (closed.compareAndSet(false, true)) {
+                    subscribers.remove(this);
+                    schedule();
+                }
+                return;
+            }
+            queue.offer(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            int missed = 1;
+            do {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    if (closed.get() || replayed.contains(message.getId())) {
+                        continue;
+                    }
+                    try {
+                        emitter.send(event(message));
+                    } catch (IOException | IllegalStateException e) {
+                        closed.set(true);
+                        subscribers.remove(this);
+                        if (!completed) {
+                            completed = true;
+                            emitter.completeWithError(e);
+                        }
+                    }
+                }
+                if (closed.get() && !completed) {
+                    completed = true;
+                    emitter.complete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
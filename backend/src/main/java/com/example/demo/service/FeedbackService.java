@@ -3,19 +3,48 @@ package com.example.demo.service;
 import com.example.demo.model.Message;
 import com.example.demo.repository.FeedbackRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class FeedbackService {
+    public static final int REPLAY_LIMIT = 500; // see FeedbackRepository.findTop500ByIdGreaterThanOrderByIdAsc
     @Autowired
     FeedbackRepository feedbackRepository;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    ChangeLogService changeLogService;
+    @Transactional
     public Message add(Message message) {
-       return feedbackRepository.save(message);
+       Message saved = feedbackRepository.save(message);
+       changeLogService.record(ChangeLogService.MESSAGE, (long) saved.getId(), ChangeLogService.CREATE, null, null);
+       eventPublisher.publishEvent(new FeedbackAddedEvent(saved));
+       return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Message> getAll() {
         return feedbackRepository.findAll();
     }
+
+    // Messages saved after the given id, oldest first, at most REPLAY_LIMIT
+    @Transactional(readOnly = true)
+    public List<Message> getAfter(int id) {
+        return feedbackRepository.findTop500ByIdGreaterThanOrderByIdAsc(id);
+    }
+
+    // Reads from the primary, for messages another node has only just committed; oldest first
+    @Transactional
+    public List<Message> get(Collection<Integer> ids) {
+        List<Message> messages = new ArrayList<>(feedbackRepository.findAllById(ids));
+        messages.sort(Comparator.comparingInt(Message::getId));
+        return messages;
+    }
 }
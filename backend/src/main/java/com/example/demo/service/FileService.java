@@ -1,33 +1,66 @@
 package com.example.demo.service;
 
+import com.example.demo.jwt.DownloadToken;
+import com.example.demo.jwt.JwtUtil;
 import com.example.demo.model.File;
+import com.example.demo.model.FileMetadata;
 import com.example.demo.repository.FileRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.sql.rowset.serial.SerialBlob;
 
 @Service
 public class FileService {
 
     private final FileRepository fileRepository;
+    private final ArtifactStore artifactStore;
+    private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLogService changeLogService;
+    // Cache and artifact fills read from the primary: a lagging replica could hand back
+    // a stale result that would then be kept until the next change
+    private final TransactionTemplate primaryTransaction;
+    // browser -> versions; evicted through ChangeEvents on every node
+    private final Map<String, List<String>> versionCache = new ConcurrentHashMap<>();
 
-    public FileService(FileRepository fileRepository) {
+    public FileService(FileRepository fileRepository, ArtifactStore artifactStore, JwtUtil jwtUtil,
+                       ApplicationEventPublisher eventPublisher, ChangeLogService changeLogService,
+                       PlatformTransactionManager transactionManager) {
         this.fileRepository = fileRepository;
+        this.artifactStore = artifactStore;
+        this.jwtUtil = jwtUtil;
+        this.eventPublisher = eventPublisher;
+        this.changeLogService = changeLogService;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
     }
 
     // Store file
+    @Transactional
     public Long storeFile(MultipartFile multipartFile,String browser,String version) throws IOException {
         try {
             System.out.println("Uploading file: " + multipartFile.getOriginalFilename()
@@ -44,10 +77,28 @@ public class FileService {
             file.setContentType(multipartFile.getContentType() != null ? multipartFile.getContentType() : "application/octet-stream");
 
             // Convert byte[] to Blob
-            Blob blob = new SerialBlob(multipartFile.getBytes());
+            byte[] bytes = multipartFile.getBytes();
+            Blob blob = new SerialBlob(bytes);
             file.setData(blob);
+            file.setContentHash(ArtifactStore.sha256(bytes));
+            file.setInspectionStatus("PENDING");
 
            File savedFile= fileRepository.save(file);
+            // Written once the row is committed, so a failed upload leaves no unreferenced artifact;
+            // anything reading it before then fills it from the database
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        artifactStore.put(savedFile.getContentHash(), bytes);
+                    } catch (IOException e) {
+                        System.out.println("Could not write artifact " + savedFile.getContentHash() + ": " + e.getMessage());
+                    }
+                }
+            });
+            changeLogService.record(ChangeLogService.FILE, savedFile.getId(), ChangeLogService.CREATE, browser, savedFile.getContentHash());
+            // Manifest inspection runs on a worker after commit, the upload returns now
+            eventPublisher.publishEvent(new FileStoredEvent(savedFile.getId(), savedFile.getContentHash(), savedFile.getVersion()));
             return savedFile.getId();
         } catch (Exception e) {
             throw new IOException("Failed to store file", e);
@@ -55,6 +106,7 @@ public class FileService {
     }
 
     // Retrieve file
+    @Transactional(readOnly = true)
     public ResponseEntity<byte[]> getFile(Long fileId) throws Exception{
         Optional<File> fileOptional =fileRepository.findById(fileId);
 
@@ -85,6 +137,7 @@ public class FileService {
 
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<List<File>> getFiles() throws Exception{
         List<File> fileOptional =fileRepository.findAll();
 
@@ -97,6 +150,7 @@ public class FileService {
 
     }
 
+    @Transactional
     public ResponseEntity<Long> deleteFile(Long id) {
         Optional<File> optionalFile=fileRepository.findById(id);
         if(optionalFile.isEmpty())
@@ -104,19 +158,51 @@ public class FileService {
             return new ResponseEntity<>(null,HttpStatus.NOT_FOUND);
         }
         fileRepository.deleteById(id);
+        File file = optionalFile.get();
+        changeLogService.record(ChangeLogService.FILE, id, ChangeLogService.DELETE, file.getBrowser(), file.getContentHash());
         return new ResponseEntity<>(id,HttpStatus.OK);
     }
 
+    // Runs after commit for local changes and from ChangeLogPoller for other nodes' changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        if (!ChangeLogService.FILE.equals(event.entry().getEntity())) {
+            return;
+        }
+        if (event.entry().getBrowser() != null) {
+            versionCache.remove(event.entry().getBrowser());
+        }
+        String contentHash = event.entry().getContentHash();
+        // Artifacts are shared by content hash, so keep it while another file still has the same bytes
+        if (event.is(ChangeLogService.FILE, ChangeLogService.DELETE) && contentHash != null
+                && !fileRepository.existsByContentHash(contentHash)) {
+            try {
+                artifactStore.remove(contentHash);
+            } catch (IOException e) {
+                System.out.println("Could not remove artifact " + contentHash + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // No transaction on a cache hit; a miss loads under the map's per-key lock, so an
+    // eviction that races with the load waits for it and then removes the result
+    private List<String> cachedVersions(String browser) {
+        return versionCache.computeIfAbsent(browser,
+                b -> List.copyOf(primaryTransaction.execute(status -> fileRepository.getVersions(b))));
+    }
+
     public ResponseEntity<List<String>> getVersionsEdge() {
-        return ResponseEntity.ok(fileRepository.getVersions("edge"));
+        return ResponseEntity.ok(cachedVersions("edge"));
     }
     public ResponseEntity<List<String>> getVersionsChrome() {
-        return ResponseEntity.ok(fileRepository.getVersions("chrome"));
+        return ResponseEntity.ok(cachedVersions("chrome"));
     }
     public ResponseEntity<List<String>> getVersionsFirefox() {
-        return ResponseEntity.ok(fileRepository.getVersions("firefox"));
+        return ResponseEntity.ok(cachedVersions("firefox"));
     }
 
+    // Package bytes are fully read here, so the connection is released before the body is streamed
+    @Transactional(readOnly = true)
     public ResponseEntity<byte[]> getExtension(String browser, String version) throws IOException {
         Optional<File> fileOptional =fileRepository.findByBrowserAndVersion(browser,version);
 
@@ -149,6 +235,85 @@ public class FileService {
     }
 
     public ResponseEntity<List<String>> getVersions(String browser) {
-        return ResponseEntity.ok(fileRepository.getVersions(browser));
+        return ResponseEntity.ok(cachedVersions(browser));
+    }
+
+    // Issue a short-lived signed URL that can be served without touching the database
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getDownloadLink(String browser, String version) {
+        Optional<FileMetadata> metadata = fileRepository.findMetadata(browser, version);
+        if (metadata.isEmpty() || metadata.get().getContentHash() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        FileMetadata file = metadata.get();
+        String token = jwtUtil.generateDownloadToken(new DownloadToken(
+                file.getId(), file.getContentHash(), file.getFileSize(), file.getContentType(), file.getFileName()));
+        return ResponseEntity.ok(Map.of(
+                "url", "/files/signed/" + token,
+                "sha256", file.getContentHash(),
+                "size", file.getFileSize()));
+    }
+
+    /**
+     * Serve a signed download. Everything needed for the response is in the token;
+     * the database is only read once per node to fill the local artifact store.
+     * Only the cold fill runs in a transaction, so warm requests never take a connection.
+     */
+    public ResponseEntity<Resource> getSignedDownload(String token, String ifNoneMatch) throws IOException {
+        DownloadToken download = jwtUtil.parseDownloadToken(token);
+        if (download == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        String etag = "\"" + download.contentHash() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        Path path = getArtifact(download.fileId(), download.contentHash());
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .contentLength(download.size())
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + download.fileName() + "\"")
+                .body(new FileSystemResource(path));
+    }
+
+    /**
+     * Local path of a package's bytes, copied from the database on first use.
+     * Returns null if the file no longer exists or its content changed.
+     */
+    public Path getArtifact(Long fileId, String contentHash) {
+        Path path = artifactStore.find(contentHash);
+        if (path != null) {
+            return path;
+        }
+        return primaryTransaction.execute(status -> {
+            Optional<File> fileOptional = fileRepository.findById(fileId);
+            if (fileOptional.isEmpty() || !contentHash.equals(fileOptional.get().getContentHash())) {
+                return null;
+            }
+            try (InputStream is = fileOptional.get().getData().getBinaryStream()) {
+                return artifactStore.put(contentHash, is);
+            } catch (IOException | SQLException e) {
+                throw new RuntimeException("Failed to read file " + fileId, e);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<File>> getFilesByPermission(String permission) {
+        return ResponseEntity.ok(fileRepository.findByPermission(permission));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<File>> getVersionMismatches() {
+        return ResponseEntity.ok(fileRepository.findByVersionMismatchTrue());
     }
 }
@@ -0,0 +1,7 @@
+package com.example.demo.service;
+
+/**
+ * Published when package bytes are saved; handled once the transaction commits.
+ */
+public record FileStoredEvent(Long fileId, String contentHash, String version) {
+}
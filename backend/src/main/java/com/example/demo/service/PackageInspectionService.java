@@ -0,0 +1,183 @@
+package com.example.demo.service;
+
+import com.example.demo.model.FileMetadata;
+import com.example.demo.model.FilePermission;
+import com.example.demo.model.PackageInspection;
+import com.example.demo.repository.FilePermissionRepository;
+import com.example.demo.repository.FileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads uploaded packages in the background: sizes come from the zip central
+ * directory and only manifest.json is decompressed.
+ */
+@Service
+public class PackageInspectionService {
+
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final FileService fileService;
+    private final FileRepository fileRepository;
+    private final FilePermissionRepository filePermissionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+
+    public PackageInspectionService(FileService fileService,
+                                    FileRepository fileRepository,
+                                    FilePermissionRepository filePermissionRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("packageInspectionExecutor") Executor executor) {
+        this.fileService = fileService;
+        this.fileRepository = fileRepository;
+        this.filePermissionRepository = filePermissionRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
+
+    @Async("packageInspectionExecutor")
+    @TransactionalEventListener
+    public void onFileStored(FileStoredEvent event) {
+        inspect(event.fileId(), event.contentHash(), event.version());
+    }
+
+    /**
+     * Queues a package for inspection again, e.g. after the worker queue was full.
+     * Submitted directly so a full queue is reported as 503 instead of being lost.
+     */
+    public ResponseEntity<Long> reinspect(Long id) {
+        // Read from the primary: the file may have been uploaded moments ago
+        Optional<FileMetadata> metadata = transaction.execute(status -> fileRepository.findMetadataById(id));
+        if (metadata.isEmpty() || metadata.get().getContentHash() == null) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+        String contentHash = metadata.get().getContentHash();
+        String version = metadata.get().getVersion();
+        try {
+            executor.execute(() -> inspect(id, contentHash, version));
+        } catch (TaskRejectedException e) {
+            return new ResponseEntity<>(id, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<>(id, HttpStatus.ACCEPTED);
+    }
+
+    public void inspect(Long fileId, String contentHash, String expectedVersion) {
+        PackageInspection inspection;
+        try {
+            Path path = fileService.getArtifact(fileId, contentHash);
+            if (path == null) {
+                return; // deleted before we got to it
+            }
+            inspection = read(path, expectedVersion);
+        } catch (Exception e) {
+            System.out.println("Package inspection failed for file " + fileId + ": " + e.getMessage());
+            transaction.executeWithoutResult(status ->
+                    fileRepository.markInspectionFailed(fileId, truncate(String.valueOf(e.getMessage()), 512)));
+            return;
+        }
+
+        transaction.executeWithoutResult(status -> {
+            if (fileRepository.saveInspection(fileId, inspection) == 0) {
+                return;
+            }
+            filePermissionRepository.deleteByFileId(fileId);
+            for (String permission : inspection.permissions()) {
+                filePermissionRepository.save(new FilePermission(fileId, permission));
+            }
+        });
+    }
+
+    PackageInspection read(Path path, String expectedVersion) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            int entryCount = 0;
+            long compressedSize = 0;
+            long uncompressedSize = 0;
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                entryCount++;
+                compressedSize += Math.max(entry.getCompressedSize(), 0);
+                uncompressedSize += Math.max(entry.getSize(), 0);
+            }
+
+            ZipEntry manifestEntry = zip.getEntry("manifest.json");
+            if (manifestEntry == null) {
+                throw new IOException("manifest.json not found in package");
+            }
+            JsonNode manifest;
+            try (InputStream in = zip.getInputStream(manifestEntry)) {
+                manifest = objectMapper.readTree(in);
+            }
+
+            String manifestVersion = text(manifest.path("version"));
+            boolean versionMismatch = manifestVersion == null || !manifestVersion.equalsIgnoreCase(expectedVersion);
+
+            return new PackageInspection(
+                    text(manifest.path("name")),
+                    manifestVersion,
+                    manifest.path("manifest_version").isInt() ? manifest.path("manifest_version").asInt() : null,
+                    minBrowserVersion(manifest),
+                    versionMismatch,
+                    entryCount,
+                    compressedSize,
+                    uncompressedSize,
+                    permissions(manifest));
+        }
+    }
+
+    // Chrome and Edge use minimum_chrome_version, Firefox uses gecko.strict_min_version
+    private static String minBrowserVersion(JsonNode manifest) {
+        String chrome = text(manifest.path("minimum_chrome_version"));
+        if (chrome != null) {
+            return chrome;
+        }
+        String gecko = text(manifest.path("browser_specific_settings").path("gecko").path("strict_min_version"));
+        return gecko != null ? gecko : text(manifest.path("applications").path("gecko").path("strict_min_version"));
+    }
+
+    private static List<String> permissions(JsonNode manifest) {
+        Set<String> permissions = new LinkedHashSet<>();
+        for (String field : List.of("permissions", "optional_permissions", "host_permissions")) {
+            for (JsonNode node : manifest.path(field)) {
+                String permission = text(node);
+                if (permission != null) {
+                    permissions.add(permission);
+                }
+            }
+        }
+        return new ArrayList<>(permissions);
+    }
+
+    private static String text(JsonNode node) {
+        return node.isTextual() ? truncate(node.textValue(), MAX_VALUE_LENGTH) : null;
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() > length ? value.substring(0, length) : value;
+    }
+}
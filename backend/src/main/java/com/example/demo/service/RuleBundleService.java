@@ -0,0 +1,163 @@
+package com.example.demo.service;
+
+import com.example.demo.model.DetectionRule;
+import com.example.demo.model.RuleBundle;
+import com.example.demo.repository.DetectionRuleRepository;
+import com.example.demo.repository.RuleBundleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detection rules per browser, versioned separately from the extension package.
+ * <p>
+ * Every publish that changes something bumps the bundle version. Clients poll
+ * {@code GET /rules/{browser}?since=v} and get only what changed after v; entries in
+ * "added" replace any local rule with the same key. Reads are served from an
+ * in-memory {@link RuleSnapshot} that is dropped on every node when rules change.
+ */
+@Service
+public class RuleBundleService {
+
+    private final DetectionRuleRepository detectionRuleRepository;
+    private final RuleBundleRepository ruleBundleRepository;
+    private final ChangeLogService changeLogService;
+    private final ObjectMapper objectMapper;
+    // Snapshots are built from the primary: one read from a lagging replica would be
+    // served until the next rule change
+    private final TransactionTemplate primaryTransaction;
+    private final Map<String, RuleSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public RuleBundleService(DetectionRuleRepository detectionRuleRepository,
+                             RuleBundleRepository ruleBundleRepository,
+                             ChangeLogService changeLogService,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.detectionRuleRepository = detectionRuleRepository;
+        this.ruleBundleRepository = ruleBundleRepository;
+        this.changeLogService = changeLogService;
+        this.objectMapper = objectMapper;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replaces the browser's rule set. Rules missing from {@code rules} are removed.
+     * Returns the bundle version, unchanged if nothing differed.
+     */
+    @Transactional
+    public long publish(String browser, Map<String, JsonNode> rules) {
+        // Rows are seeded by V5__rule_bundles.sql; the insert only covers a schema made without Flyway
+        RuleBundle bundle = ruleBundleRepository.findForUpdate(browser)
+                .orElseGet(() -> ruleBundleRepository.saveAndFlush(new RuleBundle(browser)));
+        long next = bundle.getVersion() + 1;
+        boolean changed = false;
+
+        Map<String, DetectionRule> existing = new HashMap<>();
+        for (DetectionRule rule : detectionRuleRepository.findByBrowser(browser)) {
+            existing.put(rule.getRuleKey(), rule);
+        }
+
+        for (Map.Entry<String, JsonNode> entry : rules.entrySet()) {
+            DetectionRule rule = existing.remove(entry.getKey());
+            if (rule == null) {
+                rule = new DetectionRule(browser, entry.getKey());
+            } else if (!rule.isDeleted() && parse(rule.getBody()).equals(entry.getValue())) {
+                continue;
+            }
+            if (rule.getId() == null || rule.isDeleted()) {
+                rule.setAddedVersion(next);
+                rule.setDeleted(false);
+            }
+            rule.setBody(entry.getValue().toString());
+            rule.setVersion(next);
+            detectionRuleRepository.save(rule);
+            changed = true;
+        }
+        for (DetectionRule rule : existing.values()) {
+            if (!rule.isDeleted()) {
+                rule.setDeleted(true);
+                rule.setBody(null);
+                rule.setVersion(next);
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            return bundle.getVersion();
+        }
+        bundle.setVersion(next);
+        changeLogService.record(ChangeLogService.RULE, next, ChangeLogService.UPDATE, browser, null);
+        return next;
+    }
+
+    public ResponseEntity<byte[]> getDelta(String browser, long since, String ifNoneMatch, String acceptEncoding) {
+        RuleSnapshot snapshot = snapshots.computeIfAbsent(browser,
+                b -> primaryTransaction.execute(status -> load(b)));
+        long from = snapshot.normalize(since);
+
+        // Strong ETags must differ per encoding, the gzip and plain bodies are different bytes
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = "\"" + browser + "-" + from + "-" + snapshot.getVersion() + (gzip ? "-gz" : "") + "\"";
+        // Rule sets change rarely and every node serves the same bytes for a version
+        CacheControl cacheControl = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        byte[] body = snapshot.delta(from, gzip, objectMapper);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Runs after commit for local publishes and from ChangeLogPoller for other nodes'
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        if (ChangeLogService.RULE.equals(event.entry().getEntity()) && event.entry().getBrowser() != null) {
+            snapshots.remove(event.entry().getBrowser());
+        }
+    }
+
+    private RuleSnapshot load(String browser) {
+        long version = ruleBundleRepository.findById(browser).map(RuleBundle::getVersion).orElse(0L);
+        List<RuleSnapshot.Rule> rules = new ArrayList<>();
+        for (DetectionRule rule : detectionRuleRepository.findByBrowser(browser)) {
+            rules.add(new RuleSnapshot.Rule(rule.getRuleKey(),
+                    rule.isDeleted() ? null : parse(rule.getBody()),
+                    rule.getAddedVersion(), rule.getVersion(), rule.isDeleted()));
+        }
+        return new RuleSnapshot(browser, version, List.copyOf(rules));
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored rule is not valid JSON", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable in-memory copy of one browser's rule bundle. Deltas are encoded on
+ * first request, plain and gzipped, and reused until the bundle changes.
+ */
+final class RuleSnapshot {
+
+    // Deltas from older versions than this are encoded per request instead of kept
+    private static final int CACHED_VERSIONS = 64;
+
+    record Rule(String key, JsonNode body, long addedVersion, long version, boolean deleted) {
+    }
+
+    // Both encodings, so clients without gzip support are not served by decompressing per request
+    private record Delta(byte[] json, byte[] gzip) {
+    }
+
+    private final String browser;
+    private final long version;
+    private final List<Rule> rules;
+    private final Map<Long, Delta> deltas = new ConcurrentHashMap<>();
+
+    RuleSnapshot(String browser, long version, List<Rule> rules) {
+        this.browser = browser;
+        this.version = version;
+        this.rules = rules;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    // A client ahead of the server (e.g. after a database restore) starts over
+    long normalize(long since) {
+        return since < 0 || since > version ? 0 : since;
+    }
+
+    byte[] delta(long since, boolean gzip, ObjectMapper objectMapper) {
+        Delta delta = since == 0 || version - since <= CACHED_VERSIONS
+                ? deltas.computeIfAbsent(since, s -> encode(s, objectMapper))
+                : encode(since, objectMapper);
+        return gzip ? delta.gzip() : delta.json();
+    }
+
+    /**
+     * {"browser", "from", "version", "added": [{key, rule}], "changed": [{key, rule}], "removed": [key]}.
+     * Every rule deleted since {@code from} is listed in "removed", even one that looks
+     * newly added: addedVersion restarts on re-add, so the client may still hold an
+     * earlier copy. Removing an unknown key is a no-op for the client. A full sync
+     * ({@code from} 0) lists no tombstones, as they are never purged.
+     */
+    private Delta encode(long since, ObjectMapper objectMapper) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("browser", browser);
+        root.put("from", since);
+        root.put("version", version);
+        ArrayNode added = root.putArray("added");
+        ArrayNode changed = root.putArray("changed");
+        ArrayNode removed = root.putArray("removed");
+        for (Rule rule : rules) {
+            if (rule.version() <= since) {
+                continue;
+            }
+            if (rule.deleted()) {
+                if (since > 0) { // a full sync starts from nothing, so there is nothing to remove
+                    removed.add(rule.key());
+                }
+            } else {
+                ArrayNode target = rule.addedVersion() > since ? added : changed;
+                target.addObject().put("key", rule.key()).set("rule", rule.body());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(root);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(json);
+            }
+            return new Delta(json, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+-- Baseline schema, matching what ddl-auto=update used to create.
+
+CREATE TABLE IF NOT EXISTS file (
+    id           BIGINT       NOT NULL,
+    file_name    VARCHAR(255),
+    file_size    BIGINT       NOT NULL,
+    content_type VARCHAR(255),
+    browser      VARCHAR(255),
+    version      VARCHAR(255),
+    data         LONGBLOB,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_file_version_browser UNIQUE (version, browser)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS file_sequence (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO file_sequence (next_val) VALUES (1);
+
+CREATE TABLE IF NOT EXISTS message (
+    id      INT NOT NULL,
+    message VARCHAR(255),
+    url     VARCHAR(255),
+    issue   VARCHAR(255),
+    mail    VARCHAR(255),
+    date    DATE,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS feedback_sequence (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO feedback_sequence (next_val) VALUES (10101);
@@ -0,0 +1,5 @@
+-- Content hash used by signed download URLs and the on-disk artifact cache.
+
+ALTER TABLE file ADD COLUMN content_hash VARCHAR(64);
+
+UPDATE file SET content_hash = SHA2(data, 256) WHERE data IS NOT NULL;
@@ -0,0 +1,31 @@
+-- Manifest fields extracted by the background package inspection.
+
+ALTER TABLE file
+    ADD COLUMN inspection_status   VARCHAR(255),
+    ADD COLUMN inspection_error    VARCHAR(512),
+    ADD COLUMN manifest_name       VARCHAR(255),
+    ADD COLUMN manifest_version    VARCHAR(255),
+    ADD COLUMN manifest_format     INT,
+    ADD COLUMN min_browser_version VARCHAR(255),
+    ADD COLUMN version_mismatch    BIT,
+    ADD COLUMN entry_count         INT,
+    ADD COLUMN compressed_size     BIGINT,
+    ADD COLUMN uncompressed_size   BIGINT;
+
+CREATE INDEX idx_file_inspection_status ON file (inspection_status);
+CREATE INDEX idx_file_manifest_version ON file (manifest_version);
+CREATE INDEX idx_file_min_browser_version ON file (browser, min_browser_version);
+CREATE INDEX idx_file_version_mismatch ON file (version_mismatch);
+
+CREATE TABLE file_permission (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    file_id    BIGINT,
+    permission VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_file_permission_file FOREIGN KEY (file_id) REFERENCES file (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_file_permission_permission ON file_permission (permission);
+
+-- Packages uploaded before inspection existed
+UPDATE file SET inspection_status = 'PENDING';
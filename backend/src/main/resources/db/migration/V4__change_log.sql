@@ -0,0 +1,15 @@
+-- Cluster-wide change log, polled by every node to invalidate in-memory state.
+
+CREATE TABLE change_log (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    entity       VARCHAR(255),
+    entity_id    BIGINT,
+    action       VARCHAR(255),
+    browser      VARCHAR(255),
+    content_hash VARCHAR(64),
+    node_id      VARCHAR(255),
+    created_at   BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_change_log_created_at ON change_log (created_at);
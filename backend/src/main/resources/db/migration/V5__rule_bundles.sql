@@ -0,0 +1,27 @@
+-- Versioned detection-rule bundles, synced incrementally by the extension.
+
+CREATE TABLE rule_bundle (
+    browser VARCHAR(255) NOT NULL,
+    version BIGINT       NOT NULL,
+    PRIMARY KEY (browser)
+) ENGINE = InnoDB;
+
+CREATE TABLE detection_rule (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    browser       VARCHAR(255),
+    rule_key      VARCHAR(255),
+    body          LONGTEXT,
+    added_version BIGINT       NOT NULL,
+    version       BIGINT       NOT NULL,
+    deleted       BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_detection_rule_browser_key UNIQUE (browser, rule_key)
+) ENGINE = InnoDB;
+
+-- One row per supported browser, so publish() only ever locks an existing row
+-- and concurrent first publishes cannot race on the insert.
+INSERT INTO rule_bundle (browser, version) VALUES
+    ('chrome', 0),
+    ('firefox', 0),
+    ('edge', 0),
+    ('dummy-browser', 0);
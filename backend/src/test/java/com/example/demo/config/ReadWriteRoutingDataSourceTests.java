@@ -0,0 +1,61 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private DataSourceTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		DataSource routing = ReadWriteRoutingDataSource.create(database("primary"), database("replica"));
+		jdbcTemplate = new JdbcTemplate(routing);
+		transactionManager = new DataSourceTransactionManager(routing);
+	}
+
+	@Test
+	void readOnlyTransactionUsesReplica() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		tx.setReadOnly(true);
+		String node = tx.execute(status -> whoAmI());
+		assertThat(node).isEqualTo("replica");
+	}
+
+	@Test
+	void readWriteTransactionUsesPrimary() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		String node = tx.execute(status -> whoAmI());
+		assertThat(node).isEqualTo("primary");
+	}
+
+	@Test
+	void noTransactionUsesPrimary() {
+		assertThat(whoAmI()).isEqualTo("primary");
+	}
+
+	private String whoAmI() {
+		return jdbcTemplate.queryForObject("select name from node", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table node (name varchar(32))");
+		jdbc.update("insert into node (name) values (?)", name);
+		return dataSource;
+	}
+}
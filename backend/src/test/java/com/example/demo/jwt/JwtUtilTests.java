@@ -0,0 +1,53 @@
+package com.example.demo.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTests {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+
+	private final DownloadToken download = new DownloadToken(42L,
+			"9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", 1024L, "application/zip", "extension.zip");
+
+	@Test
+	void downloadTokenRoundTrips() {
+		String token = jwtUtil.generateDownloadToken(download);
+		assertThat(jwtUtil.parseDownloadToken(token)).isEqualTo(download);
+	}
+
+	@Test
+	void tokensInTheSameWindowAreIdentical() {
+		long now = System.currentTimeMillis();
+		long windowStart = now - now % (1000 * 60 * 5);
+		assertThat(jwtUtil.generateDownloadToken(download, windowStart + 1))
+				.isEqualTo(jwtUtil.generateDownloadToken(download, windowStart + 1000 * 60));
+	}
+
+	@Test
+	void expiredDownloadTokenIsRejected() {
+		String token = jwtUtil.generateDownloadToken(download, System.currentTimeMillis() - 1000 * 60 * 60);
+		assertThat(jwtUtil.parseDownloadToken(token)).isNull();
+	}
+
+	@Test
+	void adminTokenIsNotADownloadToken() {
+		String token = jwtUtil.generateToken("ABC", "ROLE_ADMIN");
+		assertThat(jwtUtil.validateToken(token)).isTrue();
+		assertThat(jwtUtil.parseDownloadToken(token)).isNull();
+	}
+
+	@Test
+	void downloadTokenIsNotAnAdminToken() {
+		assertThat(jwtUtil.validateToken(jwtUtil.generateDownloadToken(download))).isFalse();
+	}
+
+	@Test
+	void tamperedDownloadTokenIsRejected() {
+		String token = jwtUtil.generateDownloadToken(download);
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+		assertThat(jwtUtil.parseDownloadToken(tampered)).isNull();
+		assertThat(jwtUtil.parseDownloadToken("not-a-token")).isNull();
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.security.IdTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Local stand-in for Google Sign-In: issues ID tokens for test users and
+ * replaces the Google verifier, so no network access is needed.
+ */
+@Configuration
+@Profile("loadtest")
+public class FakeIdentityProvider {
+
+    private static final String ISSUER = "https://fake-idp.local";
+    private static final long EXPIRATION = 1000 * 60 * 60; // 1 hour
+
+    private final Key signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final String clientId;
+
+    public FakeIdentityProvider(@Value("${app.google.client-id}") String clientId) {
+        this.clientId = clientId;
+    }
+
+    public String issueIdToken(String email) {
+        return Jwts.builder()
+                .setIssuer(ISSUER)
+                .setAudience(clientId)
+                .setSubject(email)
+                .claim("email", email)
+                .claim("email_verified", true)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Bean
+    @Primary
+    public IdTokenVerifier fakeIdTokenVerifier() {
+        return idTokenString -> {
+            if (idTokenString == null || idTokenString.isBlank()) {
+                return null;
+            }
+            try {
+                Claims claims = Jwts.parserBuilder()
+                        .setSigningKey(signingKey)
+                        .requireIssuer(ISSUER)
+                        .requireAudience(clientId)
+                        .build()
+                        .parseClaimsJws(idTokenString)
+                        .getBody();
+                return Boolean.TRUE.equals(claims.get("email_verified", Boolean.class))
+                        ? claims.get("email", String.class) : null;
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+        };
+    }
+}
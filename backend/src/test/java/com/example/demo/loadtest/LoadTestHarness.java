@@ -0,0 +1,268 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Offline end-to-end load test. Boots the application on a random port against
+ * embedded H2 (MySQL mode) with {@link FakeIdentityProvider} in place of Google,
+ * runs the scripted scenarios over HTTP and writes a JSON report. The schema is
+ * generated from the entities; the Flyway migrations are MySQL-only and not run.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest verify}; the profile skips the unit tests, which
+ * need MySQL. Settings are system properties:
+ * {@code loadtest.requests}, {@code loadtest.concurrency}, {@code loadtest.report}.
+ * The report has no timestamps so runs from two builds can be diffed directly.
+ */
+public final class LoadTestHarness {
+
+    private static final String BROWSER = "chrome";
+    private static final String SEEDED_VERSION = "1.0.0";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final FakeIdentityProvider identityProvider;
+    private final int requests;
+    private final int concurrency;
+    private String adminToken;
+
+    private LoadTestHarness(String baseUrl, FakeIdentityProvider identityProvider, int requests, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.identityProvider = identityProvider;
+        this.requests = requests;
+        this.concurrency = concurrency;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = Integer.getInteger("loadtest.requests", 2000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port,
+                    context.getBean(FakeIdentityProvider.class), requests, concurrency);
+            Map<String, Object> results = harness.run();
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            harness.objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), results);
+            System.out.println("Load test report written to " + report.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Object> run() throws Exception {
+        adminToken = login();
+        expectOk(upload(SEEDED_VERSION));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", ordered(
+                "requests", requests,
+                "concurrency", concurrency,
+                "javaVersion", System.getProperty("java.version"),
+                "availableProcessors", Runtime.getRuntime().availableProcessors(),
+                "maxHeapBytes", Runtime.getRuntime().maxMemory()));
+
+        // Warm up JIT and pools on the hottest path, results discarded
+        scenario("warmup", requests / 4, i -> get("/files/download/" + BROWSER + "/" + SEEDED_VERSION, null));
+
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        scenarios.add(scenario("install-storm", requests,
+                i -> get("/files/download/" + BROWSER + "/" + SEEDED_VERSION, null)));
+        scenarios.add(scenario("feedback-flood", requests,
+                i -> postFeedback("user" + (i % 100) + "@example.com", i)));
+        scenarios.add(scenario("admin-listing", requests / 10,
+                i -> get(i % 2 == 0 ? "/feedback/admin/get" : "/files/admin/files", adminToken)));
+        scenarios.add(scenario("concurrent-uploads", Math.max(requests / 20, concurrency),
+                i -> upload("2.0." + i)));
+        report.put("scenarios", scenarios);
+        return report;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<byte[]> send(int index) throws Exception;
+    }
+
+    private Map<String, Object> scenario(String name, int total, Request request) throws Exception {
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        System.gc();
+        GcSnapshot before = GcSnapshot.take();
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long begin = System.nanoTime();
+                    try {
+                        if (request.send(i).statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(30, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Scenario " + name + " did not finish");
+        }
+
+        long elapsed = System.nanoTime() - start;
+        GcSnapshot after = GcSnapshot.take();
+        Arrays.sort(latencies);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("requests", total);
+        result.put("errors", errors.get());
+        result.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        result.put("throughputPerSec", Math.round(total / (elapsed / 1e9) * 10) / 10.0);
+        result.put("latencyMs", ordered(
+                "p50", percentile(latencies, 50),
+                "p90", percentile(latencies, 90),
+                "p99", percentile(latencies, 99),
+                "max", percentile(latencies, 100)));
+        result.put("heapUsedAfterBytes", after.heapUsed());
+        result.put("gcCount", after.gcCount() - before.gcCount());
+        result.put("gcTimeMs", after.gcTimeMs() - before.gcTimeMs());
+        System.out.println("Scenario " + name + ": " + result);
+        return result;
+    }
+
+    // Insertion-ordered so the JSON report diffs cleanly between runs
+    private static Map<String, Object> ordered(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return Math.round(sorted[Math.max(index, 0)] / 1e4) / 100.0;
+    }
+
+    // Heap and GC totals for the whole JVM: server and load generator share it
+    private record GcSnapshot(long heapUsed, long gcCount, long gcTimeMs) {
+        static GcSnapshot take() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long count = 0;
+            long time = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(gc.getCollectionCount(), 0);
+                time += Math.max(gc.getCollectionTime(), 0);
+            }
+            return new GcSnapshot(memory.getHeapMemoryUsage().getUsed(), count, time);
+        }
+    }
+
+    private String login() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"ABC\",\"password\":\"1234\"}")));
+        expectOk(response);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<byte[]> get(String path, String bearer) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return send(request);
+    }
+
+    private HttpResponse<byte[]> postFeedback(String email, int index) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "message", "Load test report " + index,
+                "url", "https://shop.example.com/item/" + index,
+                "issue", "fake-urgency"));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/feedback/add"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + identityProvider.issueIdToken(email))
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpResponse<byte[]> upload(String version) throws Exception {
+        String boundary = "loadtest-" + version;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"extension-" + version + ".zip\"\r\n"
+                + "Content-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(extensionPackage(version));
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/files/admin/upload/" + BROWSER + "/" + version))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    // A small but realistic package: manifest plus ~256 KB of scripts
+    private static byte[] extensionPackage(String version) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("manifest.json"));
+            zip.write(("{\"manifest_version\":3,\"name\":\"Dark Pattern Detector\",\"version\":\"" + version + "\","
+                    + "\"minimum_chrome_version\":\"110\",\"permissions\":[\"storage\",\"activeTab\"]}")
+                    .getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 8; i++) {
+                zip.putNextEntry(new ZipEntry("scripts/detector-" + i + ".js"));
+                zip.write(("// rule set " + i + "\n").repeat(2048).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static void expectOk(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Setup request failed: " + response.statusCode() + " "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+    }
+}
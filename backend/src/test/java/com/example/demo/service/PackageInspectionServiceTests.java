@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.model.PackageInspection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class PackageInspectionServiceTests {
+
+	private final PackageInspectionService service =
+			new PackageInspectionService(null, null, null, new ObjectMapper(), null, null);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readsChromeManifest() throws IOException {
+		Path zip = zip(Map.of(
+				"manifest.json", "{\"manifest_version\":3,\"name\":\"Detector\",\"version\":\"1.2.0\","
+						+ "\"minimum_chrome_version\":\"110\",\"permissions\":[\"storage\",\"activeTab\"],"
+						+ "\"host_permissions\":[\"<all_urls>\"],\"optional_permissions\":[\"storage\"]}",
+				"content.js", "console.log('detector');"));
+
+		PackageInspection inspection = service.read(zip, "1.2.0");
+
+		assertThat(inspection.manifestName()).isEqualTo("Detector");
+		assertThat(inspection.manifestFormat()).isEqualTo(3);
+		assertThat(inspection.minBrowserVersion()).isEqualTo("110");
+		assertThat(inspection.versionMismatch()).isFalse();
+		assertThat(inspection.entryCount()).isEqualTo(2);
+		assertThat(inspection.permissions()).containsExactly("storage", "activeTab", "<all_urls>");
+	}
+
+	@Test
+	void flagsVersionMismatch() throws IOException {
+		Path zip = zip(Map.of("manifest.json", "{\"version\":\"1.3.0\"}"));
+
+		PackageInspection inspection = service.read(zip, "1.2.0");
+
+		assertThat(inspection.manifestVersion()).isEqualTo("1.3.0");
+		assertThat(inspection.versionMismatch()).isTrue();
+	}
+
+	@Test
+	void missingVersionIsAMismatch() throws IOException {
+		Path zip = zip(Map.of("manifest.json", "{\"name\":\"Detector\"}"));
+
+		assertThat(service.read(zip, "1.2.0").versionMismatch()).isTrue();
+	}
+
+	@Test
+	void readsFirefoxMinVersion() throws IOException {
+		Path zip = zip(Map.of("manifest.json", "{\"manifest_version\":2,\"version\":\"1.2.0\","
+				+ "\"browser_specific_settings\":{\"gecko\":{\"id\":\"detector@example.com\",\"strict_min_version\":\"109.0\"}}}"));
+
+		assertThat(service.read(zip, "1.2.0").minBrowserVersion()).isEqualTo("109.0");
+	}
+
+	@Test
+	void readsLegacyFirefoxMinVersion() throws IOException {
+		Path zip = zip(Map.of("manifest.json",
+				"{\"version\":\"1.2.0\",\"applications\":{\"gecko\":{\"strict_min_version\":\"91.0\"}}}"));
+
+		assertThat(service.read(zip, "1.2.0").minBrowserVersion()).isEqualTo("91.0");
+	}
+
+	@Test
+	void failsWithoutManifest() throws IOException {
+		Path zip = zip(Map.of("content.js", "console.log('detector');"));
+
+		assertThatIOException().isThrownBy(() -> service.read(zip, "1.2.0"))
+				.withMessageContaining("manifest.json");
+	}
+
+	private Path zip(Map<String, String> entries) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				zip.putNextEntry(new ZipEntry(entry.getKey()));
+				zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		// ZipFile reads the central directory, so the package has to be on disk
+		return Files.write(Files.createTempFile(directory, "package", ".zip"), bytes.toByteArray());
+	}
+}
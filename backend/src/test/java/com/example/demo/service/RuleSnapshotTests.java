@@ -0,0 +1,119 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleSnapshotTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void fullSnapshotListsLiveRulesAsAddedWithoutTombstones() throws IOException {
+		// a: added v1, changed v3; b: added v2, removed v4
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 4, List.of(
+				rule("a", 1, 3), removedRule("b", 2, 4)));
+
+		JsonNode delta = delta(snapshot, 0);
+
+		assertThat(delta.get("from").asLong()).isZero();
+		assertThat(delta.get("version").asLong()).isEqualTo(4);
+		assertThat(keys(delta, "added")).containsExactly("a");
+		assertThat(keys(delta, "changed")).isEmpty();
+		assertThat(keys(delta, "removed")).isEmpty();
+	}
+
+	@Test
+	void deltaSplitsAddedChangedAndRemoved() throws IOException {
+		// a: added v1, changed v3; b: added v1, removed v3; c: added v3; d: untouched since v1
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 3, List.of(
+				rule("a", 1, 3), removedRule("b", 1, 3), rule("c", 3, 3), rule("d", 1, 1)));
+
+		JsonNode delta = delta(snapshot, 2);
+
+		assertThat(keys(delta, "added")).containsExactly("c");
+		assertThat(keys(delta, "changed")).containsExactly("a");
+		assertThat(keys(delta, "removed")).containsExactly("b");
+		assertThat(delta.get("changed").get(0).get("rule").get("pattern").asText()).isEqualTo("a-3");
+	}
+
+	@Test
+	void ruleRemovedAfterReAddIsRemovedForClientsHoldingTheFirstCopy() throws IOException {
+		// added v1, removed v2, re-added v3 (addedVersion restarts), removed v4
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 4, List.of(removedRule("a", 3, 4)));
+
+		assertThat(keys(delta(snapshot, 1), "removed")).containsExactly("a");
+		assertThat(keys(delta(snapshot, 3), "removed")).containsExactly("a");
+	}
+
+	@Test
+	void reAddedRuleIsSentAsAdded() throws IOException {
+		// added v1, removed v2, re-added v3
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 3, List.of(rule("a", 3, 3)));
+
+		JsonNode fromFirstCopy = delta(snapshot, 1);
+		assertThat(keys(fromFirstCopy, "added")).containsExactly("a");
+		assertThat(keys(fromFirstCopy, "removed")).isEmpty();
+		assertThat(keys(delta(snapshot, 2), "added")).containsExactly("a");
+	}
+
+	@Test
+	void upToDateClientGetsEmptyDelta() throws IOException {
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 2, List.of(rule("a", 1, 2), removedRule("b", 1, 2)));
+
+		JsonNode delta = delta(snapshot, 2);
+
+		assertThat(keys(delta, "added")).isEmpty();
+		assertThat(keys(delta, "changed")).isEmpty();
+		assertThat(keys(delta, "removed")).isEmpty();
+	}
+
+	@Test
+	void gzipAndPlainEncodingsCarryTheSameDelta() throws IOException {
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 3, List.of(rule("a", 1, 3), removedRule("b", 1, 2)));
+
+		byte[] gzipped = snapshot.delta(1, true, objectMapper);
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+			assertThat(in.readAllBytes()).isEqualTo(snapshot.delta(1, false, objectMapper));
+		}
+		assertThat(snapshot.delta(1, false, objectMapper)).isSameAs(snapshot.delta(1, false, objectMapper));
+	}
+
+	@Test
+	void clientAheadOfServerStartsOver() {
+		RuleSnapshot snapshot = new RuleSnapshot("chrome", 2, List.of());
+
+		assertThat(snapshot.normalize(5)).isZero();
+		assertThat(snapshot.normalize(-1)).isZero();
+		assertThat(snapshot.normalize(1)).isEqualTo(1);
+	}
+
+	private RuleSnapshot.Rule rule(String key, long addedVersion, long version) {
+		JsonNode body = objectMapper.createObjectNode().put("pattern", key + "-" + version);
+		return new RuleSnapshot.Rule(key, body, addedVersion, version, false);
+	}
+
+	private static RuleSnapshot.Rule removedRule(String key, long addedVersion, long version) {
+		return new RuleSnapshot.Rule(key, null, addedVersion, version, true);
+	}
+
+	private JsonNode delta(RuleSnapshot snapshot, long since) throws IOException {
+		return objectMapper.readTree(snapshot.delta(since, false, objectMapper));
+	}
+
+	private static List<String> keys(JsonNode delta, String field) {
+		List<String> keys = new ArrayList<>();
+		for (JsonNode node : delta.get(field)) {
+			keys.add(node.isTextual() ? node.asText() : node.get("key").asText());
+		}
+		return keys;
+	}
+}